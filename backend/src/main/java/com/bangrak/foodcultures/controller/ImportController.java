@@ -22,4 +22,14 @@ public class ImportController {
             return ResponseEntity.status(500).body("Import failed: " + e.getMessage());
         }
     }
+
+    @PostMapping("/csv/directory")
+    public ResponseEntity<String> importFromCsvDirectory(@RequestBody String directoryPath) {
+        try {
+            int imported = csvImportService.importFromDirectory(directoryPath.trim());
+            return ResponseEntity.ok("Imported " + imported + " restaurants");
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Import failed: " + e.getMessage());
+        }
+    }
 }
@@ -1,9 +1,14 @@
 package com.bangrak.foodcultures.controller;
 
+import com.bangrak.foodcultures.dto.BulkMutationRequest;
+import com.bangrak.foodcultures.dto.BulkMutationResponse;
+import com.bangrak.foodcultures.dto.FacetCountsResponse;
 import com.bangrak.foodcultures.model.Restaurant;
+import com.bangrak.foodcultures.service.LocalizedCatalogCache;
 import com.bangrak.foodcultures.service.RestaurantService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,18 +28,57 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurants);
     }
 
+    @GetMapping(params = "lang")
+    public ResponseEntity<byte[]> getAllRestaurants(@RequestParam String lang) {
+        if (!LocalizedCatalogCache.isSupported(lang)) {
+            return ResponseEntity.badRequest().build();
+        }
+        byte[] body = restaurantService.getLocalizedRestaurants(lang);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsResponse> getFacetCounts(
+            @RequestParam(required = false) Restaurant.RestaurantCategory category,
+            @RequestParam(required = false) Restaurant.SubDistrict subDistrict,
+            @RequestParam(required = false) Boolean healthFriendly,
+            @RequestParam(required = false) Boolean heritageRestaurant
+    ) {
+        FacetCountsResponse facets = restaurantService.getFacetCounts(
+                category, subDistrict, healthFriendly, heritageRestaurant);
+        return ResponseEntity.ok(facets);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Restaurant> getRestaurantById(@PathVariable String id) {
         Restaurant restaurant = restaurantService.getRestaurantById(id);
         return ResponseEntity.ok(restaurant);
     }
 
+    @GetMapping(value = "/{id}", params = "lang")
+    public ResponseEntity<byte[]> getRestaurantById(@PathVariable String id, @RequestParam String lang) {
+        if (!LocalizedCatalogCache.isSupported(lang)) {
+            return ResponseEntity.badRequest().build();
+        }
+        byte[] body = restaurantService.getLocalizedRestaurant(lang, id);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PostMapping
     public ResponseEntity<Restaurant> createRestaurant(@RequestBody Restaurant restaurant) {
         Restaurant createdRestaurant = restaurantService.createRestaurant(restaurant);
         return new ResponseEntity<>(createdRestaurant, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkMutationResponse> bulkMutate(@RequestBody BulkMutationRequest request) {
+        BulkMutationResponse response = restaurantService.applyBulk(request.getOperations());
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Restaurant> updateRestaurant(
             @PathVariable String id,
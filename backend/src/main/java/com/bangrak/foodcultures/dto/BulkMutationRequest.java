@@ -0,0 +1,10 @@
+package com.bangrak.foodcultures.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkMutationRequest {
+    private List<BulkOperation> operations;
+}
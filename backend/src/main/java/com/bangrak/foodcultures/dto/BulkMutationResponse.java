@@ -0,0 +1,13 @@
+package com.bangrak.foodcultures.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkMutationResponse {
+    private boolean success;
+    private List<BulkOperationResult> results;
+}
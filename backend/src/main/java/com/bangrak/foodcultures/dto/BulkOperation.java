@@ -0,0 +1,23 @@
+package com.bangrak.foodcultures.dto;
+
+import com.bangrak.foodcultures.model.Restaurant;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+/**
+ * One operation of a bulk admin mutation.
+ * CREATE uses restaurant, UPDATE uses id and changes (changed fields only), DELETE uses id.
+ */
+@Data
+public class BulkOperation {
+    private Type type;
+    private String id;
+    private Restaurant restaurant;
+    private JsonNode changes;
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
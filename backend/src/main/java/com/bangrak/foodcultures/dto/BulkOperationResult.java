@@ -0,0 +1,22 @@
+package com.bangrak.foodcultures.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkOperationResult {
+    private int index;
+    private BulkOperation.Type type;
+    private String id;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+}
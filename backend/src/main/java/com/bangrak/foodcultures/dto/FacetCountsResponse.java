@@ -0,0 +1,17 @@
+package com.bangrak.foodcultures.dto;
+
+import com.bangrak.foodcultures.model.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class FacetCountsResponse {
+    private int total;
+    private Map<Restaurant.RestaurantCategory, Integer> categories;
+    private Map<Restaurant.SubDistrict, Integer> subDistricts;
+    private Map<Boolean, Integer> healthFriendly;
+    private Map<Boolean, Integer> heritageRestaurant;
+}
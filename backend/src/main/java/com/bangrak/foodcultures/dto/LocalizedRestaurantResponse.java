@@ -0,0 +1,72 @@
+package com.bangrak.foodcultures.dto;
+
+import com.bangrak.foodcultures.model.Restaurant;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Restaurant view carrying only one language.
+ * Name and description fall back to the other language when empty.
+ */
+@Data
+public class LocalizedRestaurantResponse {
+    private String id;
+    private String name;
+    private String description;
+    private Restaurant.RestaurantCategory category;
+    private Restaurant.SubDistrict subDistrict;
+    private String address;
+    private String googleMapsUrl;
+    private Double latitude;
+    private Double longitude;
+    private Double pinX;
+    private Double pinY;
+    private String imageUrl;
+    private List<String> imageUrls;
+    private Boolean healthFriendly;
+    private Boolean heritageRestaurant;
+    private String licenseVolume;
+    private String licenseNumber;
+    private String licenseYear;
+    private String licenseHolder;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static LocalizedRestaurantResponse from(Restaurant restaurant, String lang) {
+        boolean english = "en".equals(lang);
+
+        LocalizedRestaurantResponse response = new LocalizedRestaurantResponse();
+        response.setId(restaurant.getId());
+        response.setName(english
+                ? firstNonBlank(restaurant.getNameEn(), restaurant.getNameTh())
+                : firstNonBlank(restaurant.getNameTh(), restaurant.getNameEn()));
+        response.setDescription(english
+                ? firstNonBlank(restaurant.getDescriptionEn(), restaurant.getDescriptionTh())
+                : firstNonBlank(restaurant.getDescriptionTh(), restaurant.getDescriptionEn()));
+        response.setCategory(restaurant.getCategory());
+        response.setSubDistrict(restaurant.getSubDistrict());
+        response.setAddress(restaurant.getAddress());
+        response.setGoogleMapsUrl(restaurant.getGoogleMapsUrl());
+        response.setLatitude(restaurant.getLatitude());
+        response.setLongitude(restaurant.getLongitude());
+        response.setPinX(restaurant.getPinX());
+        response.setPinY(restaurant.getPinY());
+        response.setImageUrl(restaurant.getImageUrl());
+        response.setImageUrls(restaurant.getImageUrls());
+        response.setHealthFriendly(restaurant.getHealthFriendly());
+        response.setHeritageRestaurant(restaurant.getHeritageRestaurant());
+        response.setLicenseVolume(restaurant.getLicenseVolume());
+        response.setLicenseNumber(restaurant.getLicenseNumber());
+        response.setLicenseYear(restaurant.getLicenseYear());
+        response.setLicenseHolder(restaurant.getLicenseHolder());
+        response.setCreatedAt(restaurant.getCreatedAt());
+        response.setUpdatedAt(restaurant.getUpdatedAt());
+        return response;
+    }
+
+    private static String firstNonBlank(String preferred, String fallback) {
+        return preferred != null && !preferred.isBlank() ? preferred : fallback;
+    }
+}
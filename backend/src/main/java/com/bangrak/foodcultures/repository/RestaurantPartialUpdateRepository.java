@@ -0,0 +1,100 @@
+package com.bangrak.foodcultures.repository;
+
+import com.bangrak.foodcultures.converter.StringListConverter;
+import com.bangrak.foodcultures.model.Restaurant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Partial restaurant updates and deletes over plain JDBC.
+ * Hibernate never batches dynamic updates, so restaurants that change the same fields
+ * are written as one JDBC batch that sets only those columns.
+ * Both methods return the affected row count of every statement, in input order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RestaurantPartialUpdateRepository {
+
+    // Editable entity fields and their columns; id and created_at never change
+    private static final Map<String, String> COLUMNS = Map.ofEntries(
+            Map.entry("nameTh", "name_th"),
+            Map.entry("nameEn", "name_en"),
+            Map.entry("descriptionTh", "description_th"),
+            Map.entry("descriptionEn", "description_en"),
+            Map.entry("category", "category"),
+            Map.entry("subDistrict", "sub_district"),
+            Map.entry("address", "address"),
+            Map.entry("googleMapsUrl", "google_maps_url"),
+            Map.entry("latitude", "latitude"),
+            Map.entry("longitude", "longitude"),
+            Map.entry("pinX", "pin_x"),
+            Map.entry("pinY", "pin_y"),
+            Map.entry("imageUrl", "image_url"),
+            Map.entry("imageUrls", "image_urls"),
+            Map.entry("healthFriendly", "health_friendly"),
+            Map.entry("heritageRestaurant", "heritage_restaurant"),
+            Map.entry("licenseVolume", "license_volume"),
+            Map.entry("licenseNumber", "license_number"),
+            Map.entry("licenseYear", "license_year"),
+            Map.entry("licenseHolder", "license_holder")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringListConverter stringListConverter;
+
+    public static boolean isUpdatable(String field) {
+        return COLUMNS.containsKey(field);
+    }
+
+    /**
+     * Writes the given fields of every restaurant, plus updated_at, in one JDBC batch.
+     */
+    public int[] updateFields(List<String> fields, List<Restaurant> restaurants) {
+        String sql = "UPDATE restaurants SET "
+                + fields.stream().map(field -> COLUMNS.get(field) + " = ?").collect(Collectors.joining(", "))
+                + ", updated_at = ? WHERE id = ?";
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>(restaurants.size());
+        for (Restaurant restaurant : restaurants) {
+            BeanWrapper bean = new BeanWrapperImpl(restaurant);
+            Object[] row = new Object[fields.size() + 2];
+            for (int i = 0; i < fields.size(); i++) {
+                row[i] = toColumnValue(fields.get(i), bean.getPropertyValue(fields.get(i)));
+            }
+            row[fields.size()] = Timestamp.valueOf(now);
+            row[fields.size() + 1] = restaurant.getId();
+            restaurant.setUpdatedAt(now);
+            rows.add(row);
+        }
+        return jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    public int[] deleteByIds(Collection<String> ids) {
+        List<Object[]> rows = ids.stream().map(id -> new Object[]{id}).collect(Collectors.toList());
+        return jdbcTemplate.batchUpdate("DELETE FROM restaurants WHERE id = ?", rows);
+    }
+
+    // Binds values the same way the entity mapping does: enums by name, image lists as JSON
+    @SuppressWarnings("unchecked")
+    private Object toColumnValue(String field, Object value) {
+        if ("imageUrls".equals(field)) {
+            return stringListConverter.convertToDatabaseColumn((List<String>) value);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value;
+    }
+}
@@ -1,10 +1,14 @@
 package com.bangrak.foodcultures.repository;
 
 import com.bangrak.foodcultures.model.Restaurant;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, String> {
@@ -17,4 +21,12 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, String>
         Restaurant.RestaurantCategory category,
         Restaurant.SubDistrict subDistrict
     );
+
+    // SELECT ... FOR UPDATE: the row stays locked until the calling transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Restaurant> findLockedById(String id);
+
+    // Locks every row for the bulk path; ordered by id so concurrent bulk requests lock in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Restaurant> findLockedByIdInOrderById(Collection<String> ids);
 }
@@ -7,11 +7,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +33,18 @@ import java.util.List;
 public class CsvImportService {
 
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantFacetIndex restaurantFacetIndex;
+    private final LocalizedCatalogCache localizedCatalogCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // Files larger than this are parsed as several record-aligned chunks
+    private static final int CHUNK_SIZE_CHARS = 64 * 1024;
+    private static final int WRITE_BATCH_SIZE = 200;
+    // Batches a chunk parser may hold ready before it waits for the writer
+    private static final int HANDOFF_CAPACITY = 2;
+
+    // Marks the end of a chunk's output on its hand-off queue
+    private static final List<Restaurant> END_OF_INPUT = Collections.unmodifiableList(new ArrayList<>());
 
     public void importFromCsv(String filePath) {
         try {
@@ -32,112 +58,9 @@ public class CsvImportService {
             int rowNumber = 1;
             while ((line = reader.readNext()) != null) {
                 rowNumber++;
-                try {
-                    if (line.length < 10) {
-                        log.warn("Skipping row {}: insufficient columns", rowNumber);
-                        continue;
-                    }
-
-                    Restaurant restaurant = new Restaurant();
-
-                    // Parse data from CSV columns - zone is always needed
-                    String zone = line.length > 1 ? line[1] : "";
-
-                    // License info - use safe access with defaults
-                    String licenseVolume = line.length > 12 ? line[12] : "";
-                    String licenseNumber = line.length > 13 ? line[13] : "";
-                    String licenseYear = line.length > 14 ? line[14] : "";
-                    String licenseHolder = line.length > 16 ? line[16] : "";
-
-                    // Basic info - use safe access
-                    String nameTh = line.length > 4 ? line[4] : "";
-                    String location = line.length > 5 ? line[5] : "";
-                    String link = line.length > 6 ? line[6] : "";
-                    String type = line.length > 7 ? line[7] : "";
-                    String notes = line.length > 10 ? line[10] : "";
-
-                    restaurant.setNameTh(nameTh.trim());
-                    restaurant.setDescriptionTh(notes.trim());
-                    restaurant.setAddress(location.trim());
-                    restaurant.setGoogleMapsUrl(link.trim());
-                    restaurant.setLicenseVolume(licenseVolume.trim());
-                    restaurant.setLicenseNumber(licenseNumber.trim());
-                    restaurant.setLicenseYear(licenseYear.trim());
-                    restaurant.setLicenseHolder(licenseHolder.trim());
-
-                    // Map category (combined category + cuisine type)
-                    String typeLower = type.toLowerCase();
-                    String notesLower = notes.toLowerCase();
-
-                    if (typeLower.contains("คาเฟ่") || typeLower.contains("cafe") ||
-                        typeLower.contains("เบเกอรี่") || typeLower.contains("เครื่องดื่ม")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.CAFE);
-                    } else if (typeLower.contains("บาร์") || typeLower.contains("bar")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.BAR);
-                    } else if (notesLower.contains("ฮาลาล") || notesLower.contains("halal")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.HALAL_RESTAURANT);
-                    } else if (notesLower.contains("มังสวิรัติ") || notesLower.contains("เพื่อสุขภาพ") ||
-                               notesLower.contains("vegan") || notesLower.contains("vegetarian")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.VEGETARIAN_RESTAURANT);
-                    } else if (notesLower.contains("สุขภาพ") || notesLower.contains("ออร์แกนิค") ||
-                               notesLower.contains("organic") || notesLower.contains("healthy")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.HEALTHY_RESTAURANT);
-                    } else if (typeLower.contains("อิตาเลี่ยน") || typeLower.contains("ฝรั่งเศส") ||
-                               typeLower.contains("ยุโรป") || typeLower.contains("european") ||
-                               notesLower.contains("italian") || notesLower.contains("french") ||
-                               notesLower.contains("western")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.WESTERN_RESTAURANT);
-                    } else if (typeLower.contains("ญี่ปุ่น") || typeLower.contains("japanese")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.JAPANESE_RESTAURANT);
-                    } else if (typeLower.contains("จีน") || typeLower.contains("เกี๊ยว") ||
-                               typeLower.contains("chinese")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.CHINESE_RESTAURANT);
-                    } else if (typeLower.contains("อินเดีย") || typeLower.contains("เลบานอน") ||
-                               typeLower.contains("indian") || typeLower.contains("lebanese")) {
-                        restaurant.setCategory(Restaurant.RestaurantCategory.SOUTH_ASIAN_RESTAURANT);
-                    } else {
-                        // Default: Thai restaurant
-                        restaurant.setCategory(Restaurant.RestaurantCategory.THAI_RESTAURANT);
-                    }
-
-                    // Map sub-district
-                    String zoneLower = zone.toLowerCase();
-                    if (zoneLower.contains("มหาพฤฒาราม")) {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.MAHA_PHRUETTHARAM);
-                    } else if (zoneLower.contains("สีลม")) {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.SILOM);
-                    } else if (zoneLower.contains("สุริยวงศ์")) {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.SURIYAWONG);
-                    } else if (zoneLower.contains("บางรัก")) {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.BANG_RAK);
-                    } else if (zoneLower.contains("สี่พระยา")) {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.SI_PHRAYA);
-                    } else {
-                        restaurant.setSubDistrict(Restaurant.SubDistrict.SILOM); // Default
-                    }
-
-                    // Set default pin positions (will be adjusted by admin)
-                    restaurant.setPinX(50.0);
-                    restaurant.setPinY(50.0);
-
-                    // Set heritage/health flags
-                    restaurant.setHeritageRestaurant(
-                        notes.contains("เก่าแก่") ||
-                        notes.contains("ร้านเก่า") ||
-                        notes.contains("ตำนาน") ||
-                        notes.contains("เปิดมานาน")
-                    );
-                    restaurant.setHealthFriendly(
-                        notes.contains("เพื่อสุขภาพ") ||
-                        notes.contains("สุขภาพ") ||
-                        notes.contains("ออร์แกนิค") ||
-                        notes.contains("organic")
-                    );
-
+                Restaurant restaurant = parseRow(line, rowNumber, filePath);
+                if (restaurant != null) {
                     restaurants.add(restaurant);
-
-                } catch (Exception e) {
-                    log.error("Error parsing row {}: {}", rowNumber, e.getMessage());
                 }
             }
 
@@ -145,6 +68,8 @@ public class CsvImportService {
 
             // Save all restaurants
             restaurantRepository.saveAll(restaurants);
+            restaurantFacetIndex.rebuild();
+            localizedCatalogCache.invalidate();
             log.info("Successfully imported {} restaurants from CSV", restaurants.size());
 
         } catch (Exception e) {
@@ -152,4 +77,347 @@ public class CsvImportService {
             throw new RuntimeException("Failed to import CSV: " + e.getMessage());
         }
     }
+
+    public int importFromDirectory(String directoryPath) {
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(Paths.get(directoryPath))) {
+            files = entries
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase().endsWith(".csv"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Error listing CSV directory {}: {}", directoryPath, e.getMessage(), e);
+            throw new RuntimeException("Failed to import CSV: " + e.getMessage());
+        }
+        return importFromFiles(files);
+    }
+
+    /**
+     * Imports several CSV files at once.
+     * Files are read and split into record-aligned chunks in parallel on a fork-join pool,
+     * and up to one chunk per core is parsed and classified ahead of the single writer.
+     * Every chunk hands its batches over through its own small bounded queue and the writer
+     * drains the chunks strictly in file and row order, so a parser that gets ahead waits.
+     * Each batch is saved in its own transaction.
+     */
+    public int importFromFiles(List<Path> files) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            List<ForkJoinTask<List<CsvChunk>>> reads = files.stream()
+                    .map(file -> pool.submit(() -> readChunks(file, failures)))
+                    .collect(Collectors.toList());
+            List<CsvChunk> chunks = new ArrayList<>();
+            for (ForkJoinTask<List<CsvChunk>> read : reads) {
+                chunks.addAll(read.join());
+            }
+
+            int imported = writeInOrder(chunks, pool, parallelism, failures);
+
+            restaurantFacetIndex.rebuild();
+            localizedCatalogCache.invalidate();
+
+            if (!failures.isEmpty()) {
+                throw new RuntimeException("Failed to import CSV: " + String.join("; ", failures));
+            }
+            log.info("Successfully imported {} restaurants from {} CSV files", imported, files.size());
+            return imported;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<CsvChunk> readChunks(Path file, List<String> failures) {
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            return splitIntoChunks(file.getFileName().toString(), content);
+        } catch (Exception e) {
+            log.error("Error importing CSV {}: {}", file, e.getMessage(), e);
+            failures.add(file.getFileName() + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Single writer. At most `window` chunks are being parsed at any time, and all of them
+     * are at or after the chunk being written, so one worker is always free for it.
+     */
+    private int writeInOrder(List<CsvChunk> chunks, ForkJoinPool pool, int window, List<String> failures) {
+        List<BlockingQueue<List<Restaurant>>> handoffs = new ArrayList<>(chunks.size());
+        int imported = 0;
+        boolean writeFailed = false;
+
+        for (int i = 0; i < chunks.size(); i++) {
+            while (handoffs.size() < Math.min(chunks.size(), i + window)) {
+                CsvChunk chunk = chunks.get(handoffs.size());
+                BlockingQueue<List<Restaurant>> handoff = new ArrayBlockingQueue<>(HANDOFF_CAPACITY);
+                handoffs.add(handoff);
+                pool.execute(() -> parseChunk(chunk, handoff, failures));
+            }
+
+            BlockingQueue<List<Restaurant>> handoff = handoffs.get(i);
+            handoffs.set(i, null);
+            List<Restaurant> batch;
+            while ((batch = take(handoff)) != END_OF_INPUT) {
+                // After a failed write keep draining, so that blocked parsers can finish
+                if (writeFailed) {
+                    continue;
+                }
+                List<Restaurant> toSave = batch;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> restaurantRepository.saveAll(toSave));
+                    imported += toSave.size();
+                } catch (Exception e) {
+                    log.error("Error saving CSV batch: {}", e.getMessage(), e);
+                    failures.add("batch write: " + e.getMessage());
+                    writeFailed = true;
+                }
+            }
+        }
+        return imported;
+    }
+
+    private void parseChunk(CsvChunk chunk, BlockingQueue<List<Restaurant>> handoff, List<String> failures) {
+        try (CSVReader reader = new CSVReader(new StringReader(chunk.text()))) {
+            int rowNumber = chunk.firstRow() - 1;
+
+            // Skip header
+            if (chunk.firstRow() == 1) {
+                reader.readNext();
+                rowNumber++;
+            }
+
+            List<Restaurant> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                rowNumber++;
+                Restaurant restaurant = parseRow(line, rowNumber, chunk.source());
+                if (restaurant == null) {
+                    continue;
+                }
+                batch.add(restaurant);
+                if (batch.size() == WRITE_BATCH_SIZE) {
+                    enqueue(handoff, batch);
+                    batch = new ArrayList<>(WRITE_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(handoff, batch);
+            }
+        } catch (Exception e) {
+            log.error("Error parsing CSV {} from row {}: {}", chunk.source(), chunk.firstRow(), e.getMessage(), e);
+            failures.add(chunk.source() + " from row " + chunk.firstRow() + ": " + e.getMessage());
+        } finally {
+            enqueue(handoff, END_OF_INPUT);
+        }
+    }
+
+    /**
+     * Cuts the file into chunks of about CHUNK_SIZE_CHARS that end on a record boundary.
+     * Quote, escape and "in field" tracking follows CSVParser with CSVReader's defaults
+     * (quote ", escape \, separator ,), so a chunk only ends where CSVReader would also
+     * end the record and every chunk starts in the parser's initial state.
+     */
+    private static List<CsvChunk> splitIntoChunks(String source, String content) {
+        List<CsvChunk> chunks = new ArrayList<>();
+        int length = content.length();
+        boolean inQuotes = false;
+        boolean inField = false;
+        int start = 0;
+        int startRow = 1;
+        int row = 1;
+
+        for (int i = 0; i < length; i++) {
+            char ch = content.charAt(i);
+            char next = i + 1 < length ? content.charAt(i + 1) : 0;
+
+            if (ch == '\n' || ch == '\r') {
+                // Line ends are \n, \r\n or \r, as for BufferedReader.readLine
+                if ((ch == '\r' && next == '\n') || inQuotes) {
+                    continue;
+                }
+                inField = false;
+                row++;
+                if (i + 1 - start >= CHUNK_SIZE_CHARS) {
+                    chunks.add(new CsvChunk(source, content.substring(start, i + 1), startRow));
+                    start = i + 1;
+                    startRow = row;
+                }
+            } else if (ch == '\\') {
+                // The escape starts a field, so the next quote, escape or separator is literal
+                inField = true;
+                if (next == '"' || next == '\\' || next == ',') {
+                    i++;
+                }
+            } else if (ch == '"') {
+                // A doubled quote inside a quoted or started field is a literal quote
+                if ((inQuotes || inField) && next == '"') {
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            } else if (ch == ',' && !inQuotes) {
+                inField = false;
+            } else {
+                inField = true;
+            }
+        }
+        if (start < length) {
+            chunks.add(new CsvChunk(source, content.substring(start), startRow));
+        }
+        return chunks;
+    }
+
+    private static List<Restaurant> take(BlockingQueue<List<Restaurant>> handoff) {
+        try {
+            return handoff.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Failed to import CSV: interrupted");
+        }
+    }
+
+    // Blocks the parser while its hand-off queue is full, letting the pool compensate
+    private static void enqueue(BlockingQueue<List<Restaurant>> handoff, List<Restaurant> batch) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean queued;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!queued) {
+                        handoff.put(batch);
+                        queued = true;
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return queued || (queued = handoff.offer(batch));
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing CSV batch");
+        }
+    }
+
+    private record CsvChunk(String source, String text, int firstRow) {
+    }
+
+    private Restaurant parseRow(String[] line, int rowNumber, String source) {
+        try {
+            if (line.length < 10) {
+                log.warn("Skipping row {} of {}: insufficient columns", rowNumber, source);
+                return null;
+            }
+
+            Restaurant restaurant = new Restaurant();
+
+            // Parse data from CSV columns - zone is always needed
+            String zone = line.length > 1 ? line[1] : "";
+
+            // License info - use safe access with defaults
+            String licenseVolume = line.length > 12 ? line[12] : "";
+            String licenseNumber = line.length > 13 ? line[13] : "";
+            String licenseYear = line.length > 14 ? line[14] : "";
+            String licenseHolder = line.length > 16 ? line[16] : "";
+
+            // Basic info - use safe access
+            String nameTh = line.length > 4 ? line[4] : "";
+            String location = line.length > 5 ? line[5] : "";
+            String link = line.length > 6 ? line[6] : "";
+            String type = line.length > 7 ? line[7] : "";
+            String notes = line.length > 10 ? line[10] : "";
+
+            restaurant.setNameTh(nameTh.trim());
+            restaurant.setDescriptionTh(notes.trim());
+            restaurant.setAddress(location.trim());
+            restaurant.setGoogleMapsUrl(link.trim());
+            restaurant.setLicenseVolume(licenseVolume.trim());
+            restaurant.setLicenseNumber(licenseNumber.trim());
+            restaurant.setLicenseYear(licenseYear.trim());
+            restaurant.setLicenseHolder(licenseHolder.trim());
+
+            // Map category (combined category + cuisine type)
+            String typeLower = type.toLowerCase();
+            String notesLower = notes.toLowerCase();
+
+            if (typeLower.contains("คาเฟ่") || typeLower.contains("cafe") ||
+                typeLower.contains("เบเกอรี่") || typeLower.contains("เครื่องดื่ม")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.CAFE);
+            } else if (typeLower.contains("บาร์") || typeLower.contains("bar")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.BAR);
+            } else if (notesLower.contains("ฮาลาล") || notesLower.contains("halal")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.HALAL_RESTAURANT);
+            } else if (notesLower.contains("มังสวิรัติ") || notesLower.contains("เพื่อสุขภาพ") ||
+                       notesLower.contains("vegan") || notesLower.contains("vegetarian")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.VEGETARIAN_RESTAURANT);
+            } else if (notesLower.contains("สุขภาพ") || notesLower.contains("ออร์แกนิค") ||
+                       notesLower.contains("organic") || notesLower.contains("healthy")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.HEALTHY_RESTAURANT);
+            } else if (typeLower.contains("อิตาเลี่ยน") || typeLower.contains("ฝรั่งเศส") ||
+                       typeLower.contains("ยุโรป") || typeLower.contains("european") ||
+                       notesLower.contains("italian") || notesLower.contains("french") ||
+                       notesLower.contains("western")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.WESTERN_RESTAURANT);
+            } else if (typeLower.contains("ญี่ปุ่น") || typeLower.contains("japanese")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.JAPANESE_RESTAURANT);
+            } else if (typeLower.contains("จีน") || typeLower.contains("เกี๊ยว") ||
+                       typeLower.contains("chinese")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.CHINESE_RESTAURANT);
+            } else if (typeLower.contains("อินเดีย") || typeLower.contains("เลบานอน") ||
+                       typeLower.contains("indian") || typeLower.contains("lebanese")) {
+                restaurant.setCategory(Restaurant.RestaurantCategory.SOUTH_ASIAN_RESTAURANT);
+            } else {
+                // Default: Thai restaurant
+                restaurant.setCategory(Restaurant.RestaurantCategory.THAI_RESTAURANT);
+            }
+
+            // Map sub-district
+            String zoneLower = zone.toLowerCase();
+            if (zoneLower.contains("มหาพฤฒาราม")) {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.MAHA_PHRUETTHARAM);
+            } else if (zoneLower.contains("สีลม")) {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.SILOM);
+            } else if (zoneLower.contains("สุริยวงศ์")) {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.SURIYAWONG);
+            } else if (zoneLower.contains("บางรัก")) {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.BANG_RAK);
+            } else if (zoneLower.contains("สี่พระยา")) {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.SI_PHRAYA);
+            } else {
+                restaurant.setSubDistrict(Restaurant.SubDistrict.SILOM); // Default
+            }
+
+            // Set default pin positions (will be adjusted by admin)
+            restaurant.setPinX(50.0);
+            restaurant.setPinY(50.0);
+
+            // Set heritage/health flags
+            restaurant.setHeritageRestaurant(
+                notes.contains("เก่าแก่") ||
+                notes.contains("ร้านเก่า") ||
+                notes.contains("ตำนาน") ||
+                notes.contains("เปิดมานาน")
+            );
+            restaurant.setHealthFriendly(
+                notes.contains("เพื่อสุขภาพ") ||
+                notes.contains("สุขภาพ") ||
+                notes.contains("ออร์แกนิค") ||
+                notes.contains("organic")
+            );
+
+            return restaurant;
+
+        } catch (Exception e) {
+            log.error("Error parsing row {} of {}: {}", rowNumber, source, e.getMessage());
+            return null;
+        }
+    }
 }
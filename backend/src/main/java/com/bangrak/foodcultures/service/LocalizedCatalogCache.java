@@ -0,0 +1,102 @@
+package com.bangrak.foodcultures.service;
+
+import com.bangrak.foodcultures.dto.LocalizedRestaurantResponse;
+import com.bangrak.foodcultures.model.Restaurant;
+import com.bangrak.foodcultures.repository.RestaurantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-serialized single-language catalog responses (?lang=th|en).
+ * Every language variant is serialized once per catalog version; any change to
+ * the catalog bumps the version and the next request rebuilds the snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalizedCatalogCache {
+
+    public static final List<String> SUPPORTED_LANGUAGES = List.of("th", "en");
+
+    private final RestaurantRepository restaurantRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public static boolean isSupported(String lang) {
+        return SUPPORTED_LANGUAGES.contains(lang);
+    }
+
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+    }
+
+    public byte[] getRestaurants(String lang) {
+        return currentSnapshot().lists().get(lang);
+    }
+
+    public byte[] getRestaurant(String lang, String id) {
+        byte[] body = currentSnapshot().details().get(lang).get(id);
+        if (body == null) {
+            throw new RuntimeException("Restaurant not found with id: " + id);
+        }
+        return body;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == catalogVersion.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            // Read the version before loading, so a change committed mid-build marks this snapshot stale
+            long version = catalogVersion.get();
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            current = build(version);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private Snapshot build(long version) {
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        Map<String, byte[]> lists = new HashMap<>();
+        Map<String, Map<String, byte[]>> details = new HashMap<>();
+
+        try {
+            for (String lang : SUPPORTED_LANGUAGES) {
+                List<LocalizedRestaurantResponse> views = new ArrayList<>(restaurants.size());
+                Map<String, byte[]> byId = new HashMap<>();
+                for (Restaurant restaurant : restaurants) {
+                    LocalizedRestaurantResponse view = LocalizedRestaurantResponse.from(restaurant, lang);
+                    views.add(view);
+                    byId.put(restaurant.getId(), objectMapper.writeValueAsBytes(view));
+                }
+                lists.put(lang, objectMapper.writeValueAsBytes(views));
+                details.put(lang, byId);
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize localized catalog: " + e.getMessage());
+        }
+
+        log.info("Built localized catalog version {} with {} restaurants", version, restaurants.size());
+        return new Snapshot(version, lists, details);
+    }
+
+    private record Snapshot(long version, Map<String, byte[]> lists, Map<String, Map<String, byte[]>> details) {
+    }
+}
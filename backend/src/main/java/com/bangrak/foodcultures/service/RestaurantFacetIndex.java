@@ -0,0 +1,204 @@
+package com.bangrak.foodcultures.service;
+
+import com.bangrak.foodcultures.dto.FacetCountsResponse;
+import com.bangrak.foodcultures.model.Restaurant;
+import com.bangrak.foodcultures.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory facet counts for the filter panel.
+ * Each dimension (category, sub-district, healthFriendly, heritageRestaurant) has one
+ * extra "any" slot, so a restaurant is counted in 16 cells and every conditioned count
+ * is a single array lookup. Kept up to date by deltas from RestaurantService.
+ *
+ * A mutation is in flight from just before its commit until its delta is applied; nothing
+ * blocks on that, it only bumps the commit epoch. rebuild() loads once no mutation is in
+ * flight and swaps only if the epoch has not moved since, otherwise it loads again. So every
+ * committed change is either in the rebuild snapshot or applied as a delta, never both.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantFacetIndex {
+
+    private static final Restaurant.RestaurantCategory[] CATEGORIES = Restaurant.RestaurantCategory.values();
+    private static final Restaurant.SubDistrict[] SUB_DISTRICTS = Restaurant.SubDistrict.values();
+
+    // Slot sizes including the trailing "any" slot
+    private static final int CATEGORY_SLOTS = CATEGORIES.length + 1;
+    private static final int SUB_DISTRICT_SLOTS = SUB_DISTRICTS.length + 1;
+    private static final int FLAG_SLOTS = 3;
+
+    private static final int ANY_CATEGORY = CATEGORIES.length;
+    private static final int ANY_SUB_DISTRICT = SUB_DISTRICTS.length;
+    private static final int ANY_FLAG = 2;
+
+    private final RestaurantRepository restaurantRepository;
+
+    // Guarded by this
+    private long commitEpoch;
+    private int inFlight;
+
+    private int[] counts = new int[CATEGORY_SLOTS * SUB_DISTRICT_SLOTS * FLAG_SLOTS * FLAG_SLOTS];
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        while (true) {
+            long epoch;
+            synchronized (this) {
+                while (inFlight > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.warn("Facet rebuild interrupted, keeping current counts");
+                        return;
+                    }
+                }
+                epoch = commitEpoch;
+            }
+
+            List<Restaurant> restaurants = restaurantRepository.findAll();
+            int[] fresh = new int[CATEGORY_SLOTS * SUB_DISTRICT_SLOTS * FLAG_SLOTS * FLAG_SLOTS];
+            for (Restaurant restaurant : restaurants) {
+                apply(fresh, keyOf(restaurant), 1);
+            }
+
+            synchronized (this) {
+                if (commitEpoch == epoch) {
+                    counts = fresh;
+                    log.info("Rebuilt facet counts from {} restaurants", restaurants.size());
+                    return;
+                }
+            }
+            log.debug("Catalog changed during facet rebuild, loading again");
+        }
+    }
+
+    /**
+     * Called before a mutation commits. Never blocks on a rebuild, so no JVM lock is held
+     * across the database commit. Must be paired with endCommit() once the delta is applied.
+     */
+    public synchronized void beginCommit() {
+        inFlight++;
+        commitEpoch++;
+    }
+
+    public synchronized void endCommit() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * Packs the facet values of a restaurant into a single key, or -1 when the
+     * restaurant has no category or sub-district and therefore is not counted.
+     */
+    public int keyOf(Restaurant restaurant) {
+        if (restaurant == null || restaurant.getCategory() == null || restaurant.getSubDistrict() == null) {
+            return -1;
+        }
+        return pack(
+                restaurant.getCategory().ordinal(),
+                restaurant.getSubDistrict().ordinal(),
+                flagSlot(Boolean.TRUE.equals(restaurant.getHealthFriendly())),
+                flagSlot(Boolean.TRUE.equals(restaurant.getHeritageRestaurant()))
+        );
+    }
+
+    public synchronized void add(int key) {
+        apply(counts, key, 1);
+    }
+
+    public synchronized void remove(int key) {
+        apply(counts, key, -1);
+    }
+
+    public synchronized void move(int oldKey, int newKey) {
+        if (oldKey == newKey) {
+            return;
+        }
+        apply(counts, oldKey, -1);
+        apply(counts, newKey, 1);
+    }
+
+    /**
+     * Counts for every facet value, each conditioned on the other selected filters.
+     * A null argument means the filter is not set.
+     */
+    public synchronized FacetCountsResponse getFacetCounts(
+            Restaurant.RestaurantCategory category,
+            Restaurant.SubDistrict subDistrict,
+            Boolean healthFriendly,
+            Boolean heritageRestaurant
+    ) {
+        int c = category != null ? category.ordinal() : ANY_CATEGORY;
+        int s = subDistrict != null ? subDistrict.ordinal() : ANY_SUB_DISTRICT;
+        int h = healthFriendly != null ? flagSlot(healthFriendly) : ANY_FLAG;
+        int r = heritageRestaurant != null ? flagSlot(heritageRestaurant) : ANY_FLAG;
+
+        Map<Restaurant.RestaurantCategory, Integer> categories = new EnumMap<>(Restaurant.RestaurantCategory.class);
+        for (Restaurant.RestaurantCategory value : CATEGORIES) {
+            categories.put(value, counts[pack(value.ordinal(), s, h, r)]);
+        }
+
+        Map<Restaurant.SubDistrict, Integer> subDistricts = new EnumMap<>(Restaurant.SubDistrict.class);
+        for (Restaurant.SubDistrict value : SUB_DISTRICTS) {
+            subDistricts.put(value, counts[pack(c, value.ordinal(), h, r)]);
+        }
+
+        Map<Boolean, Integer> healthFriendlyCounts = new LinkedHashMap<>();
+        healthFriendlyCounts.put(true, counts[pack(c, s, flagSlot(true), r)]);
+        healthFriendlyCounts.put(false, counts[pack(c, s, flagSlot(false), r)]);
+
+        Map<Boolean, Integer> heritageCounts = new LinkedHashMap<>();
+        heritageCounts.put(true, counts[pack(c, s, h, flagSlot(true))]);
+        heritageCounts.put(false, counts[pack(c, s, h, flagSlot(false))]);
+
+        return new FacetCountsResponse(
+                counts[pack(c, s, h, r)],
+                categories,
+                subDistricts,
+                healthFriendlyCounts,
+                heritageCounts
+        );
+    }
+
+    // Adds delta to the cell of the key and to every cell where some dimensions are "any"
+    private static void apply(int[] target, int key, int delta) {
+        if (key < 0) {
+            return;
+        }
+        int r = key % FLAG_SLOTS;
+        int h = (key / FLAG_SLOTS) % FLAG_SLOTS;
+        int s = (key / (FLAG_SLOTS * FLAG_SLOTS)) % SUB_DISTRICT_SLOTS;
+        int c = key / (FLAG_SLOTS * FLAG_SLOTS * SUB_DISTRICT_SLOTS);
+
+        for (int ci : new int[]{c, ANY_CATEGORY}) {
+            for (int si : new int[]{s, ANY_SUB_DISTRICT}) {
+                for (int hi : new int[]{h, ANY_FLAG}) {
+                    for (int ri : new int[]{r, ANY_FLAG}) {
+                        target[pack(ci, si, hi, ri)] += delta;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int pack(int category, int subDistrict, int healthFriendly, int heritageRestaurant) {
+        return ((category * SUB_DISTRICT_SLOTS + subDistrict) * FLAG_SLOTS + healthFriendly) * FLAG_SLOTS
+                + heritageRestaurant;
+    }
+
+    private static int flagSlot(boolean value) {
+        return value ? 1 : 0;
+    }
+}
@@ -1,12 +1,35 @@
 package com.bangrak.foodcultures.service;
 
+import com.bangrak.foodcultures.dto.BulkMutationResponse;
+import com.bangrak.foodcultures.dto.BulkOperation;
+import com.bangrak.foodcultures.dto.BulkOperationResult;
+import com.bangrak.foodcultures.dto.FacetCountsResponse;
 import com.bangrak.foodcultures.model.Restaurant;
+import com.bangrak.foodcultures.repository.RestaurantPartialUpdateRepository;
 import com.bangrak.foodcultures.repository.RestaurantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -14,6 +37,11 @@ import java.util.List;
 public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantPartialUpdateRepository restaurantPartialUpdateRepository;
+    private final RestaurantFacetIndex restaurantFacetIndex;
+    private final LocalizedCatalogCache localizedCatalogCache;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
@@ -24,12 +52,42 @@ public class RestaurantService {
                 .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
     }
 
+    // Row-locked until commit, so the facet delta is computed from the committed state being replaced
+    private Restaurant getRestaurantForUpdate(String id) {
+        return restaurantRepository.findLockedById(id)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
+    }
+
+    public byte[] getLocalizedRestaurants(String lang) {
+        return localizedCatalogCache.getRestaurants(lang);
+    }
+
+    public byte[] getLocalizedRestaurant(String lang, String id) {
+        return localizedCatalogCache.getRestaurant(lang, id);
+    }
+
+    public FacetCountsResponse getFacetCounts(
+            Restaurant.RestaurantCategory category,
+            Restaurant.SubDistrict subDistrict,
+            Boolean healthFriendly,
+            Boolean heritageRestaurant
+    ) {
+        return restaurantFacetIndex.getFacetCounts(category, subDistrict, healthFriendly, heritageRestaurant);
+    }
+
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        int key = restaurantFacetIndex.keyOf(saved);
+        afterCommit(() -> {
+            restaurantFacetIndex.add(key);
+            localizedCatalogCache.invalidate();
+        });
+        return saved;
     }
 
     public Restaurant updateRestaurant(String id, Restaurant restaurantDetails) {
-        Restaurant restaurant = getRestaurantById(id);
+        Restaurant restaurant = getRestaurantForUpdate(id);
+        int oldKey = restaurantFacetIndex.keyOf(restaurant);
 
         restaurant.setNameTh(restaurantDetails.getNameTh());
         restaurant.setNameEn(restaurantDetails.getNameEn());
@@ -52,18 +110,280 @@ public class RestaurantService {
         restaurant.setLicenseYear(restaurantDetails.getLicenseYear());
         restaurant.setLicenseHolder(restaurantDetails.getLicenseHolder());
 
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        int newKey = restaurantFacetIndex.keyOf(saved);
+        afterCommit(() -> {
+            restaurantFacetIndex.move(oldKey, newKey);
+            localizedCatalogCache.invalidate();
+        });
+        return saved;
     }
 
     public void deleteRestaurant(String id) {
-        Restaurant restaurant = getRestaurantById(id);
+        Restaurant restaurant = getRestaurantForUpdate(id);
+        int key = restaurantFacetIndex.keyOf(restaurant);
         restaurantRepository.delete(restaurant);
+        afterCommit(() -> {
+            restaurantFacetIndex.remove(key);
+            localizedCatalogCache.invalidate();
+        });
     }
 
     public Restaurant updatePinPosition(String id, Double pinX, Double pinY) {
         Restaurant restaurant = getRestaurantById(id);
         restaurant.setPinX(pinX);
         restaurant.setPinY(pinY);
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        afterCommit(localizedCatalogCache::invalidate);
+        return saved;
+    }
+
+    /**
+     * Applies create, partial-update and delete operations in one transaction.
+     * All update and delete targets are loaded and row-locked with one query. Updates that
+     * change the same fields go out as one JDBC batch setting only those columns, deletes as
+     * one JDBC batch, and inserts are JDBC-batched by Hibernate.
+     * If any operation is invalid or its row is not affected, nothing is applied.
+     */
+    public BulkMutationResponse applyBulk(List<BulkOperation> operations) {
+        List<BulkOperation> ops = operations != null ? operations : List.of();
+
+        Set<String> targetIds = ops.stream()
+                .filter(op -> op != null && op.getType() != BulkOperation.Type.CREATE && op.getId() != null)
+                .map(BulkOperation::getId)
+                .collect(Collectors.toSet());
+        Map<String, Restaurant> existing = new HashMap<>();
+        Map<String, Integer> originalKeys = new HashMap<>();
+        List<Restaurant> targets = targetIds.isEmpty()
+                ? List.of()
+                : restaurantRepository.findLockedByIdInOrderById(targetIds);
+        for (Restaurant restaurant : targets) {
+            // Detached, so changes are written only by the partial updates below
+            entityManager.detach(restaurant);
+            existing.put(restaurant.getId(), restaurant);
+            originalKeys.put(restaurant.getId(), restaurantFacetIndex.keyOf(restaurant));
+        }
+
+        List<BulkOperationResult> results = new ArrayList<>(ops.size());
+        List<Restaurant> created = new ArrayList<>();
+        List<BulkOperationResult> createdResults = new ArrayList<>();
+        Set<String> deletedIds = new LinkedHashSet<>();
+        Map<String, Set<String>> changedFields = new LinkedHashMap<>();
+        boolean valid = true;
+
+        for (int i = 0; i < ops.size(); i++) {
+            BulkOperation op = ops.get(i);
+            BulkOperationResult result = new BulkOperationResult(
+                    i, op != null ? op.getType() : null, op != null ? op.getId() : null, null, null);
+            results.add(result);
+
+            if (op == null || op.getType() == null) {
+                reject(result, BulkOperationResult.Status.INVALID, "Operation type is required");
+            } else if (op.getType() == BulkOperation.Type.CREATE) {
+                if (op.getRestaurant() == null) {
+                    reject(result, BulkOperationResult.Status.INVALID, "Restaurant is required");
+                } else if (missingRequiredField(op.getRestaurant()) != null) {
+                    reject(result, BulkOperationResult.Status.INVALID,
+                            "Field is required: " + missingRequiredField(op.getRestaurant()));
+                } else {
+                    // CREATE always inserts; an id in the payload must not turn it into a merge
+                    op.getRestaurant().setId(null);
+                    created.add(op.getRestaurant());
+                    createdResults.add(result);
+                    result.setStatus(BulkOperationResult.Status.CREATED);
+                }
+            } else {
+                Restaurant restaurant = deletedIds.contains(op.getId()) ? null : existing.get(op.getId());
+                if (restaurant == null) {
+                    reject(result, BulkOperationResult.Status.NOT_FOUND, "Restaurant not found with id: " + op.getId());
+                } else if (op.getType() == BulkOperation.Type.DELETE) {
+                    deletedIds.add(op.getId());
+                    result.setStatus(BulkOperationResult.Status.DELETED);
+                } else {
+                    // Changes go onto a copy, so a rejected operation leaves later ones unaffected
+                    Restaurant changed = new Restaurant();
+                    BeanUtils.copyProperties(restaurant, changed);
+                    String error = applyChanges(changed, op.getChanges());
+                    if (error == null && missingRequiredField(changed) != null) {
+                        error = "Field is required: " + missingRequiredField(changed);
+                    }
+                    if (error != null) {
+                        reject(result, BulkOperationResult.Status.INVALID, error);
+                    } else {
+                        existing.put(op.getId(), changed);
+                        Set<String> fields = changedFields.computeIfAbsent(op.getId(), id -> new TreeSet<>());
+                        op.getChanges().fieldNames().forEachRemaining(fields::add);
+                        result.setStatus(BulkOperationResult.Status.UPDATED);
+                    }
+                }
+            }
+
+            if (result.getMessage() != null) {
+                valid = false;
+            }
+        }
+
+        if (!valid) {
+            // Nothing has been written yet; rolling back keeps it that way
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new BulkMutationResponse(false, results);
+        }
+
+        Map<String, List<BulkOperationResult>> resultsById = results.stream()
+                .filter(result -> result.getType() != BulkOperation.Type.CREATE)
+                .collect(Collectors.groupingBy(BulkOperationResult::getId));
+
+        // One batch per distinct set of changed fields; restaurants deleted later need no update
+        Map<List<String>, List<Restaurant>> updateGroups = new LinkedHashMap<>();
+        changedFields.forEach((id, fields) -> {
+            if (!deletedIds.contains(id)) {
+                updateGroups.computeIfAbsent(new ArrayList<>(fields), key -> new ArrayList<>()).add(existing.get(id));
+            }
+        });
+        for (Map.Entry<List<String>, List<Restaurant>> group : updateGroups.entrySet()) {
+            int[] counts = restaurantPartialUpdateRepository.updateFields(group.getKey(), group.getValue());
+            List<String> ids = group.getValue().stream().map(Restaurant::getId).collect(Collectors.toList());
+            valid &= allAffected(ids, counts, resultsById);
+        }
+
+        if (valid && !deletedIds.isEmpty()) {
+            int[] counts = restaurantPartialUpdateRepository.deleteByIds(deletedIds);
+            valid = allAffected(new ArrayList<>(deletedIds), counts, resultsById);
+        }
+
+        if (!valid) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new BulkMutationResponse(false, results);
+        }
+
+        // Inserted last, so a rolled-back request never reports ids that were not kept
+        restaurantRepository.saveAll(created);
+        for (int i = 0; i < created.size(); i++) {
+            createdResults.get(i).setId(created.get(i).getId());
+        }
+
+        List<Integer> addedKeys = created.stream()
+                .map(restaurantFacetIndex::keyOf)
+                .collect(Collectors.toList());
+        List<Integer> removedKeys = new ArrayList<>();
+        List<int[]> movedKeys = new ArrayList<>();
+        for (Map.Entry<String, Restaurant> entry : existing.entrySet()) {
+            int originalKey = originalKeys.get(entry.getKey());
+            if (deletedIds.contains(entry.getKey())) {
+                removedKeys.add(originalKey);
+            } else {
+                movedKeys.add(new int[]{originalKey, restaurantFacetIndex.keyOf(entry.getValue())});
+            }
+        }
+        afterCommit(() -> {
+            addedKeys.forEach(restaurantFacetIndex::add);
+            removedKeys.forEach(restaurantFacetIndex::remove);
+            movedKeys.forEach(keys -> restaurantFacetIndex.move(keys[0], keys[1]));
+            localizedCatalogCache.invalidate();
+        });
+
+        return new BulkMutationResponse(true, results);
+    }
+
+    // Marks every operation on a row that a statement did not affect as NOT_FOUND; SUCCESS_NO_INFO counts as affected
+    private boolean allAffected(List<String> ids, int[] counts, Map<String, List<BulkOperationResult>> resultsById) {
+        boolean affected = true;
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts[i] == 0) {
+                for (BulkOperationResult result : resultsById.get(ids.get(i))) {
+                    reject(result, BulkOperationResult.Status.NOT_FOUND, "Restaurant not found with id: " + ids.get(i));
+                }
+                affected = false;
+            }
+        }
+        return affected;
+    }
+
+    // Copies only the fields present in changes onto the detached entity; returns an error message or null
+    private String applyChanges(Restaurant restaurant, JsonNode changes) {
+        if (changes == null || !changes.isObject() || changes.isEmpty()) {
+            return "Changes must be a non-empty object";
+        }
+        Iterator<String> fields = changes.fieldNames();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            if (!RestaurantPartialUpdateRepository.isUpdatable(field)) {
+                return "Field cannot be changed: " + field;
+            }
+        }
+        try {
+            objectMapper.readerForUpdating(restaurant).readValue(changes);
+            return null;
+        } catch (JsonProcessingException e) {
+            return "Invalid changes: " + e.getOriginalMessage();
+        } catch (IOException e) {
+            return "Invalid changes: " + e.getMessage();
+        }
+    }
+
+    // Checked up front so a NOT NULL violation is reported per operation instead of failing the flush
+    private String missingRequiredField(Restaurant restaurant) {
+        if (restaurant.getNameTh() == null) {
+            return "nameTh";
+        }
+        if (restaurant.getDescriptionTh() == null) {
+            return "descriptionTh";
+        }
+        if (restaurant.getCategory() == null) {
+            return "category";
+        }
+        if (restaurant.getSubDistrict() == null) {
+            return "subDistrict";
+        }
+        if (restaurant.getGoogleMapsUrl() == null) {
+            return "googleMapsUrl";
+        }
+        if (restaurant.getPinX() == null) {
+            return "pinX";
+        }
+        if (restaurant.getPinY() == null) {
+            return "pinY";
+        }
+        if (restaurant.getHealthFriendly() == null) {
+            return "healthFriendly";
+        }
+        if (restaurant.getHeritageRestaurant() == null) {
+            return "heritageRestaurant";
+        }
+        return null;
+    }
+
+    private void reject(BulkOperationResult result, BulkOperationResult.Status status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+    // Derived views are updated only once the change is committed, so a rollback leaves them untouched.
+    // The change is marked in flight from commit to delta, so a concurrent rebuild never counts it twice.
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // beforeCommit is skipped for rollback-only transactions, but afterCompletion is not
+            private boolean inFlight;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                restaurantFacetIndex.beginCommit();
+                inFlight = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!inFlight) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                } finally {
+                    restaurantFacetIndex.endCommit();
+                }
+            }
+        });
     }
 }